@@ -13,7 +13,7 @@ plugins {
 
 repositories {
     // Use Maven Central for resolving dependencies.
-    
+    mavenCentral()
 }
 
 dependencies {
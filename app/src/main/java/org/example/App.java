@@ -1,17 +1,31 @@
 package org.example;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+
 import org.example.geo.FloodZoneLoader;
 import org.example.geo.GeoBuilder;
 import org.example.geo.RoadNetworkLoader;
 import org.example.graph.GraphBuilder;
 import org.example.graph.PathFinder;
+import org.example.graph.WeightOverlay;
 import org.example.utils.FileIO;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mapbox.geojson.Point;
+import com.mapbox.geojson.Polygon;
 
 import io.javalin.Javalin;
+import io.javalin.http.Context;
 
 public class App {
     private final static Logger logger = LoggerFactory.getLogger(App.class);
@@ -27,6 +41,16 @@ public class App {
         var floodZones = FloodZoneLoader.loadFromGeoJSON(floodZonesFC);
 
         var graph = GraphBuilder.buildGraph(roadLines, floodZones);
+        var forecast = loadForecast();
+        var forecastLoadedAt = Instant.now();
+        var timeDependentGraph = forecast != null ? GraphBuilder.buildTimeDependentGraph(graph, forecast) : null;
+
+        List<Polygon> forecastZones = new ArrayList<>(floodZones);
+        if(forecast != null) {
+            forecast.values().forEach(forecastZones::addAll);
+        }
+
+        var overlay = new WeightOverlay();
 
         Javalin app = Javalin.create(config -> {
             config.bundledPlugins.enableCors(cors -> {
@@ -40,6 +64,7 @@ public class App {
             String startParam = ctx.queryParam("start");
             String endParam = ctx.queryParam("end");
             String fullParam = ctx.queryParam("full");
+            String speedParam = ctx.queryParam("speed");
 
             if(startParam == null || endParam == null) {
                 ctx.status(400).result("Missing 'start' or 'end' query parameters.");
@@ -62,7 +87,38 @@ public class App {
                 return;
             }
 
-            var path = PathFinder.findShortestPath(graph, nearestStart, nearestEnd);
+            var overlaySnapshot = overlay.snapshot();
+
+            GraphPath<Point, DefaultWeightedEdge> path;
+            if(speedParam != null) {
+                if(timeDependentGraph == null) {
+                    ctx.status(400).result("Time-dependent routing is unavailable, no flood forecast loaded.");
+                    return;
+                }
+
+                double speedKmh;
+                try {
+                    speedKmh = parseSpeed(speedParam);
+                } catch (IllegalArgumentException e) {
+                    ctx.status(400).result("Invalid speed. Expected a positive number of km/h.");
+                    return;
+                }
+
+                // Forecast layer times are relative to when the forecast was loaded
+                double departureMinutes = Duration.between(forecastLoadedAt, Instant.now()).toMillis() / 60000.0;
+
+                path = PathFinder.findEarliestArrivalPath(
+                    timeDependentGraph,
+                    nearestStart,
+                    nearestEnd,
+                    speedKmh,
+                    departureMinutes,
+                    overlaySnapshot
+                );
+            } else {
+                path = PathFinder.findShortestPath(graph, nearestStart, nearestEnd, overlaySnapshot);
+            }
+
             if (path == null) {
                 ctx.status(404).result("No path found between the points.");
                 return;
@@ -71,7 +127,7 @@ public class App {
             if(fullParam != null) {
                 var fullFC = GeoBuilder.buildFinalVisualization(
                     roadLines,
-                    floodZones,
+                    speedParam != null ? forecastZones : floodZones,
                     path.getVertexList()
                 );
 
@@ -82,9 +138,111 @@ public class App {
             }
         });
 
+        app.post("/api/overlay/closure", ctx -> {
+            var edge = findEdge(ctx, graph);
+            if(edge != null) {
+                overlay.close(edge);
+                ctx.status(204);
+            }
+        });
+
+        app.delete("/api/overlay/closure", ctx -> {
+            var edge = findEdge(ctx, graph);
+            if(edge != null) {
+                overlay.reopen(edge);
+                ctx.status(204);
+            }
+        });
+
+        app.post("/api/overlay/congestion", ctx -> {
+            String factorParam = ctx.queryParam("factor");
+            if(factorParam == null) {
+                ctx.status(400).result("Missing 'factor' query parameter.");
+                return;
+            }
+
+            double factor;
+            try {
+                factor = Double.parseDouble(factorParam);
+            } catch (NumberFormatException e) {
+                ctx.status(400).result("Invalid factor. Expected a positive number.");
+                return;
+            }
+
+            if(!WeightOverlay.isValidMultiplier(factor)) {
+                ctx.status(400).result("Invalid factor. Expected a positive number.");
+                return;
+            }
+
+            var edge = findEdge(ctx, graph);
+            if(edge != null) {
+                overlay.setMultiplier(edge, factor);
+                ctx.status(204);
+            }
+        });
+
+        app.delete("/api/overlay/congestion", ctx -> {
+            var edge = findEdge(ctx, graph);
+            if(edge != null) {
+                overlay.removeMultiplier(edge);
+                ctx.status(204);
+            }
+        });
+
+        app.delete("/api/overlay", ctx -> {
+            overlay.clear();
+            ctx.status(204);
+        });
+
         logger.info("Server started at http://localhost:3001");
     }
 
+    private static NavigableMap<Double, List<Polygon>> loadForecast() throws IOException {
+        String forecastJson;
+        try {
+            forecastJson = FileIO.loadResource("flood_forecast.geojson");
+        } catch (FileNotFoundException e) {
+            logger.info("No flood forecast found, time-dependent routing disabled");
+            return null;
+        }
+
+        var forecastFC = GeoBuilder.buildFromJSON(forecastJson);
+
+        return FloodZoneLoader.loadForecastFromGeoJSON(forecastFC);
+    }
+
+    private static DefaultWeightedEdge findEdge(
+        Context ctx,
+        Graph<Point, DefaultWeightedEdge> graph
+    ) {
+        String fromParam = ctx.queryParam("from");
+        String toParam = ctx.queryParam("to");
+
+        if(fromParam == null || toParam == null) {
+            ctx.status(400).result("Missing 'from' or 'to' query parameters.");
+            return null;
+        }
+
+        Point fromPoint, toPoint;
+        try {
+            fromPoint = parsePoint(fromParam);
+            toPoint = parsePoint(toParam);
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).result("Invalid coordinate format. Expected 'lon,lat'");
+            return null;
+        }
+
+        var nearestFrom = PathFinder.findNearestPoint(graph, fromPoint, 0.05);
+        var nearestTo = PathFinder.findNearestPoint(graph, toPoint, 0.05);
+        var edge = nearestFrom != null && nearestTo != null ? graph.getEdge(nearestFrom, nearestTo) : null;
+        if(edge == null) {
+            ctx.status(404).result("No road segment found between the points.");
+            return null;
+        }
+
+        return edge;
+    }
+
     private static Point parsePoint(String coordString) {
         String[] parts = coordString.split(",");
         if (parts.length != 2) {
@@ -96,4 +254,13 @@ public class App {
 
         return Point.fromLngLat(lon, lat);
     }
+
+    private static double parseSpeed(String speedString) {
+        double speed = Double.parseDouble(speedString);
+        if (!(speed > 0) || Double.isInfinite(speed)) {
+            throw new IllegalArgumentException("Invalid speed. Expected a positive number of km/h.");
+        }
+
+        return speed;
+    }
 }
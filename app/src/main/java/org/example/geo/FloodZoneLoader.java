@@ -2,7 +2,14 @@ package org.example.geo;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.mapbox.geojson.Feature;
 import com.mapbox.geojson.FeatureCollection;
 import com.mapbox.geojson.MultiPolygon;
 import com.mapbox.geojson.Polygon;
@@ -11,6 +18,8 @@ import com.mapbox.geojson.Polygon;
  * Utility class for loading flood zones
  */
 public class FloodZoneLoader {
+    private final static Logger logger = LoggerFactory.getLogger(FloodZoneLoader.class);
+
     /**
      * Load flood zones from a GeoJSON FeatureCollection. Handles both Polygon and MultiPolygon geometries.
      * @param fc the FeatureCollection
@@ -31,4 +40,63 @@ public class FloodZoneLoader {
 
         return zones;
     }
+
+    /**
+     * Load a flood forecast from a GeoJSON FeatureCollection. Each feature is assigned to the layer given by its
+     * numeric "time" property (minutes after the forecast is loaded); features without it are treated as already
+     * flooded (time 0).
+     * Features with an invalid "time" property are skipped.
+     * @param fc the FeatureCollection
+     * @return flood zone polygons grouped by the time they become flooded, in ascending order
+     */
+    public static NavigableMap<Double, List<Polygon>> loadForecastFromGeoJSON(FeatureCollection fc) {
+        NavigableMap<Double, List<Polygon>> layers = new TreeMap<>();
+
+        for(var feature : fc.features()) {
+            var geometry = feature.geometry();
+
+            List<Polygon> polygons;
+            if(geometry instanceof Polygon polygon) {
+                polygons = List.of(polygon);
+            } else if(geometry instanceof MultiPolygon multiPolygon) {
+                polygons = multiPolygon.polygons();
+            } else {
+                continue;
+            }
+
+            Double time = getForecastTime(feature);
+            if(time == null) {
+                logger.warn("Skipping flood forecast feature with invalid 'time' property: {}", feature.getProperty("time"));
+                continue;
+            }
+
+            layers.computeIfAbsent(time, t -> new ArrayList<>()).addAll(polygons);
+        }
+
+        return layers;
+    }
+
+    /**
+     * Get the forecast time of a flood zone feature
+     * @param feature the feature
+     * @return the value of the "time" property in minutes, 0 if not present, or null if it is not a finite,
+     * non-negative number
+     */
+    private static Double getForecastTime(Feature feature) {
+        if(!feature.hasNonNullValueForProperty("time")) {
+            return 0.0;
+        }
+
+        JsonElement property = feature.getProperty("time");
+        if(!property.isJsonPrimitive() || !property.getAsJsonPrimitive().isNumber()) {
+            return null;
+        }
+
+        double time = property.getAsDouble();
+        if(!(time >= 0) || Double.isInfinite(time)) {
+            return null;
+        }
+
+        return time;
+    }
 }
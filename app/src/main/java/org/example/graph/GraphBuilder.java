@@ -1,8 +1,13 @@
 package org.example.graph;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 
 import org.example.utils.GeoMath;
+import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.SimpleWeightedGraph;
 
@@ -55,4 +60,98 @@ public class GraphBuilder {
 
         return graph;
     }
+
+    /**
+     * Build a time-dependent graph by marking each edge with the time it gets flooded
+     * @param graph the road graph
+     * @param forecast flood zone polygons grouped by the time (in minutes) they become flooded
+     * @return the time-dependent graph, edges that never get flooded expire at positive infinity
+     */
+    public static TimeDependentGraph buildTimeDependentGraph(
+        Graph<Point, DefaultWeightedEdge> graph,
+        NavigableMap<Double, List<Polygon>> forecast
+    ) {
+        Point[] vertices = graph.vertexSet().toArray(new Point[0]);
+        int vertexCount = vertices.length;
+
+        Map<Point, Integer> vertexIndices = new HashMap<>(vertexCount * 2);
+        int[] edgeOffsets = new int[vertexCount + 1];
+
+        for(int i = 0; i < vertexCount; i++) {
+            vertexIndices.put(vertices[i], i);
+            edgeOffsets[i + 1] = edgeOffsets[i] + graph.degreeOf(vertices[i]);
+        }
+
+        int edgeCount = edgeOffsets[vertexCount];
+        int[] edgeTargets = new int[edgeCount];
+        int[] segmentIds = new int[edgeCount];
+        Map<DefaultWeightedEdge, Integer> segmentIndices = new HashMap<>(edgeCount);
+        double[] edgeWeights = new double[edgeCount];
+        double[] edgeExpiry = new double[edgeCount];
+
+        int[] nextEdge = Arrays.copyOf(edgeOffsets, vertexCount);
+
+        for(DefaultWeightedEdge edge : graph.edgeSet()) {
+            Point source = graph.getEdgeSource(edge);
+            Point target = graph.getEdgeTarget(edge);
+
+            int u = vertexIndices.get(source);
+            int v = vertexIndices.get(target);
+            double weight = graph.getEdgeWeight(edge);
+            double expiry = getFloodTime(source, target, forecast);
+
+            int segment = segmentIndices.size();
+            segmentIndices.put(edge, segment);
+
+            int forward = nextEdge[u]++;
+            edgeTargets[forward] = v;
+            segmentIds[forward] = segment;
+            edgeWeights[forward] = weight;
+            edgeExpiry[forward] = expiry;
+
+            int backward = nextEdge[v]++;
+            edgeTargets[backward] = u;
+            segmentIds[backward] = segment;
+            edgeWeights[backward] = weight;
+            edgeExpiry[backward] = expiry;
+        }
+
+        return new TimeDependentGraph(
+            graph,
+            vertexIndices,
+            segmentIndices,
+            vertices,
+            edgeOffsets,
+            edgeTargets,
+            segmentIds,
+            edgeWeights,
+            edgeExpiry
+        );
+    }
+
+    /**
+     * Get the earliest time a road segment gets flooded
+     * @param p0 The starting point of the segment
+     * @param p1 The ending point of the segment
+     * @param forecast flood zone polygons grouped by the time they become flooded, in ascending order
+     * @return the time of the first forecast layer covering the segment, or positive infinity if none does
+     */
+    private static double getFloodTime(
+        Point p0, Point p1,
+        NavigableMap<Double, List<Polygon>> forecast
+    ) {
+        for(var layer : forecast.entrySet()) {
+            List<Polygon> zones = layer.getValue();
+
+            if(
+                GeoMath.isPointInFloodZone(p0, zones) ||
+                GeoMath.isPointInFloodZone(p1, zones) ||
+                GeoMath.isLineCrossingFloodZone(p0, p1, zones)
+            ) {
+                return layer.getKey();
+            }
+        }
+
+        return Double.POSITIVE_INFINITY;
+    }
 }
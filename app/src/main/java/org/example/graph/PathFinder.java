@@ -1,10 +1,18 @@
 package org.example.graph;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.example.utils.GeoMath;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
 import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.AsWeightedGraph;
 import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.GraphWalk;
+import org.jgrapht.graph.MaskSubgraph;
 
 import com.mapbox.geojson.Point;
 
@@ -55,4 +63,215 @@ public class PathFinder {
 
         return dijkstraAlg.getPath(start, end);
     }
+
+    /**
+     * Find the shortest path between two points in the graph, with edge weights adjusted by an overlay
+     * @param graph the graph
+     * @param start the starting point
+     * @param end the ending point
+     * @param overlay the overlay snapshot, closed edges are skipped and the weights of the rest are multiplied
+     * @return the shortest path between the two points on the given graph, weighted by its length in kilometers
+     * (overlay multipliers are not included), or null if no path exists
+     */
+    public static GraphPath<Point, DefaultWeightedEdge> findShortestPath(
+        Graph<Point, DefaultWeightedEdge> graph,
+        Point start,
+        Point end,
+        WeightOverlay.Snapshot overlay
+    ) {
+        if(overlay.isEmpty()) {
+            return findShortestPath(graph, start, end);
+        }
+
+        var openGraph = new MaskSubgraph<>(graph, vertex -> false, overlay::isClosed);
+        var weightedGraph = new AsWeightedGraph<>(
+            openGraph,
+            edge -> graph.getEdgeWeight(edge) * overlay.getMultiplier(edge),
+            false,
+            false
+        );
+
+        var path = findShortestPath(weightedGraph, start, end);
+        if(path == null) {
+            return null;
+        }
+
+        double length = 0;
+        for(DefaultWeightedEdge edge : path.getEdgeList()) {
+            length += graph.getEdgeWeight(edge);
+        }
+
+        return new GraphWalk<>(graph, path.getVertexList(), length);
+    }
+
+    /**
+     * Find the path with the earliest arrival between two points, using only edges that can be fully
+     * traversed before they get flooded. Edges of forecast layers whose time has already passed at departure
+     * are never used.
+     * @param graph the time-dependent graph
+     * @param start the starting point
+     * @param end the ending point
+     * @param speedKmh travel speed in kilometers per hour
+     * @param departureMinutes departure time in minutes, on the same clock as the forecast layer times
+     * @param overlay the overlay snapshot, closed edges are skipped and travel times of the rest are multiplied
+     * @return the earliest arrival path, weighted by its length in kilometers (overlay multipliers are not
+     * included), or null if no path exists
+     */
+    public static GraphPath<Point, DefaultWeightedEdge> findEarliestArrivalPath(
+        TimeDependentGraph graph,
+        Point start,
+        Point end,
+        double speedKmh,
+        double departureMinutes,
+        WeightOverlay.Snapshot overlay
+    ) {
+        int source = graph.indexOf(start);
+        int target = graph.indexOf(end);
+        if(source < 0 || target < 0) {
+            return null;
+        }
+
+        int vertexCount = graph.vertexCount();
+        double minutesPerKm = 60.0 / speedKmh;
+        double[] segmentFactors = overlay.isEmpty() ? null : overlay.getSegmentFactors(graph);
+
+        double[] arrival = new double[vertexCount];
+        int[] previousEdge = new int[vertexCount];
+        int[] previousVertex = new int[vertexCount];
+        boolean[] settled = new boolean[vertexCount];
+
+        Arrays.fill(arrival, Double.POSITIVE_INFINITY);
+        Arrays.fill(previousEdge, -1);
+
+        var queue = new VertexQueue(64);
+        arrival[source] = departureMinutes;
+        queue.push(source, departureMinutes);
+
+        while(!queue.isEmpty()) {
+            int u = queue.pop();
+            if(settled[u]) {
+                continue;
+            }
+
+            settled[u] = true;
+            if(u == target) {
+                break;
+            }
+
+            for(int e = graph.edgeOffsets[u]; e < graph.edgeOffsets[u + 1]; e++) {
+                int v = graph.edgeTargets[e];
+                double weight = graph.edgeWeights[e];
+
+                if(segmentFactors != null) {
+                    double factor = segmentFactors[graph.segmentIds[e]];
+                    if(factor == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+
+                    weight *= factor;
+                }
+
+                double time = arrival[u] + weight * minutesPerKm;
+
+                // Skip edges that get flooded before the evacuee reaches their end
+                if(settled[v] || time >= graph.edgeExpiry[e] || time >= arrival[v]) {
+                    continue;
+                }
+
+                arrival[v] = time;
+                previousEdge[v] = e;
+                previousVertex[v] = u;
+                queue.push(v, time);
+            }
+        }
+
+        if(!settled[target]) {
+            return null;
+        }
+
+        List<Point> vertexList = new ArrayList<>();
+        double length = 0;
+
+        for(int v = target; v != source; v = previousVertex[v]) {
+            vertexList.add(graph.vertices[v]);
+            length += graph.edgeWeights[previousEdge[v]];
+        }
+
+        vertexList.add(graph.vertices[source]);
+        Collections.reverse(vertexList);
+
+        return new GraphWalk<>(graph.getGraph(), vertexList, length);
+    }
+
+    /**
+     * Binary min-heap of vertex indices keyed by arrival time. Stale entries are not removed on
+     * decrease-key, callers skip vertices that were already settled instead.
+     */
+    static class VertexQueue {
+        private int[] vertices;
+        private double[] keys;
+        private int size;
+
+        VertexQueue(int capacity) {
+            this.vertices = new int[capacity];
+            this.keys = new double[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int vertex, double key) {
+            if(size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+
+            int i = size++;
+            while(i > 0) {
+                int parent = (i - 1) / 2;
+                if(keys[parent] <= key) {
+                    break;
+                }
+
+                vertices[i] = vertices[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+
+            vertices[i] = vertex;
+            keys[i] = key;
+        }
+
+        int pop() {
+            int top = vertices[0];
+            int lastVertex = vertices[--size];
+            double lastKey = keys[size];
+
+            int i = 0;
+            while(true) {
+                int child = 2 * i + 1;
+                if(child >= size) {
+                    break;
+                }
+
+                if(child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+
+                if(lastKey <= keys[child]) {
+                    break;
+                }
+
+                vertices[i] = vertices[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+
+            vertices[i] = lastVertex;
+            keys[i] = lastKey;
+
+            return top;
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package org.example.graph;
+
+import java.util.Map;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+import com.mapbox.geojson.Point;
+
+/**
+ * Road graph annotated with the time each edge gets flooded.
+ * <p>
+ * Adjacency is stored in compressed form: the outgoing edges of vertex {@code i} occupy indices
+ * {@code edgeOffsets[i]} to {@code edgeOffsets[i + 1] - 1} of the per-edge arrays. Every undirected
+ * road segment is stored once in each direction, both copies share the segment's id in {@code segmentIds}.
+ */
+public class TimeDependentGraph {
+    private final Graph<Point, DefaultWeightedEdge> graph;
+    private final Map<Point, Integer> vertexIndices;
+    private final Map<DefaultWeightedEdge, Integer> segmentIndices;
+
+    final Point[] vertices;
+    final int[] edgeOffsets;
+    final int[] edgeTargets;
+    final int[] segmentIds;
+    final double[] edgeWeights;
+    final double[] edgeExpiry;
+
+    TimeDependentGraph(
+        Graph<Point, DefaultWeightedEdge> graph,
+        Map<Point, Integer> vertexIndices,
+        Map<DefaultWeightedEdge, Integer> segmentIndices,
+        Point[] vertices,
+        int[] edgeOffsets,
+        int[] edgeTargets,
+        int[] segmentIds,
+        double[] edgeWeights,
+        double[] edgeExpiry
+    ) {
+        this.graph = graph;
+        this.vertexIndices = vertexIndices;
+        this.segmentIndices = segmentIndices;
+        this.vertices = vertices;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeTargets = edgeTargets;
+        this.segmentIds = segmentIds;
+        this.edgeWeights = edgeWeights;
+        this.edgeExpiry = edgeExpiry;
+    }
+
+    /**
+     * Get the index of a vertex
+     * @param point the vertex
+     * @return the index of the vertex, or -1 if it is not part of the graph
+     */
+    public int indexOf(Point point) {
+        Integer index = vertexIndices.get(point);
+
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Get the id of a road segment
+     * @param edge the edge of the underlying graph
+     * @return the id of the segment, or -1 if it is not part of the graph
+     */
+    int segmentIdOf(DefaultWeightedEdge edge) {
+        Integer index = segmentIndices.get(edge);
+
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Get the number of road segments
+     * @return the number of road segments
+     */
+    int segmentCount() {
+        return segmentIndices.size();
+    }
+
+    /**
+     * Get the number of vertices
+     * @return the number of vertices
+     */
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * Get the graph this one was built from
+     * @return the underlying graph
+     */
+    public Graph<Point, DefaultWeightedEdge> getGraph() {
+        return graph;
+    }
+}
@@ -0,0 +1,197 @@
+package org.example.graph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jgrapht.graph.DefaultWeightedEdge;
+
+/**
+ * Per-edge weight multipliers and closures applied on top of a graph without modifying it.
+ * <p>
+ * The overlay state is an immutable {@link Snapshot}. Every update copies the current snapshot and swaps
+ * the new one in atomically, so searches never block and see a consistent state for their whole duration.
+ */
+public class WeightOverlay {
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * Get the current state of the overlay
+     * @return the current snapshot
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Set the weight multiplier of an edge, e.g. to account for congestion
+     * @param edge the edge
+     * @param multiplier the multiplier, must be positive and finite
+     */
+    public void setMultiplier(DefaultWeightedEdge edge, double multiplier) {
+        if(!isValidMultiplier(multiplier)) {
+            throw new IllegalArgumentException("Multiplier must be positive and finite: " + multiplier);
+        }
+
+        current.updateAndGet(snapshot -> {
+            var multipliers = new HashMap<>(snapshot.multipliers);
+            multipliers.put(edge, multiplier);
+
+            return new Snapshot(multipliers, snapshot.closures);
+        });
+    }
+
+    /**
+     * Check if a value can be used as an edge weight multiplier
+     * @param multiplier the multiplier
+     * @return true if the multiplier is positive and finite, false otherwise
+     */
+    public static boolean isValidMultiplier(double multiplier) {
+        return multiplier > 0 && !Double.isInfinite(multiplier);
+    }
+
+    /**
+     * Remove the weight multiplier of an edge
+     * @param edge the edge
+     */
+    public void removeMultiplier(DefaultWeightedEdge edge) {
+        current.updateAndGet(snapshot -> {
+            if(!snapshot.multipliers.containsKey(edge)) {
+                return snapshot;
+            }
+
+            var multipliers = new HashMap<>(snapshot.multipliers);
+            multipliers.remove(edge);
+
+            return new Snapshot(multipliers, snapshot.closures);
+        });
+    }
+
+    /**
+     * Close an edge, searches will not use it until it is reopened
+     * @param edge the edge
+     */
+    public void close(DefaultWeightedEdge edge) {
+        current.updateAndGet(snapshot -> {
+            if(snapshot.closures.contains(edge)) {
+                return snapshot;
+            }
+
+            var closures = new HashSet<>(snapshot.closures);
+            closures.add(edge);
+
+            return new Snapshot(snapshot.multipliers, closures);
+        });
+    }
+
+    /**
+     * Reopen a closed edge
+     * @param edge the edge
+     */
+    public void reopen(DefaultWeightedEdge edge) {
+        current.updateAndGet(snapshot -> {
+            if(!snapshot.closures.contains(edge)) {
+                return snapshot;
+            }
+
+            var closures = new HashSet<>(snapshot.closures);
+            closures.remove(edge);
+
+            return new Snapshot(snapshot.multipliers, closures);
+        });
+    }
+
+    /**
+     * Remove all multipliers and closures
+     */
+    public void clear() {
+        current.set(Snapshot.EMPTY);
+    }
+
+    /**
+     * Immutable state of the overlay at some point in time
+     */
+    public static class Snapshot {
+        public static final Snapshot EMPTY = new Snapshot(Map.of(), Set.of());
+
+        private final Map<DefaultWeightedEdge, Double> multipliers;
+        private final Set<DefaultWeightedEdge> closures;
+
+        private volatile SegmentFactors segmentFactors;
+
+        private Snapshot(
+            Map<DefaultWeightedEdge, Double> multipliers,
+            Set<DefaultWeightedEdge> closures
+        ) {
+            this.multipliers = Collections.unmodifiableMap(multipliers);
+            this.closures = Collections.unmodifiableSet(closures);
+        }
+
+        /**
+         * Check if the snapshot has no multipliers and no closures
+         * @return true if the snapshot does not change any edge, false otherwise
+         */
+        public boolean isEmpty() {
+            return multipliers.isEmpty() && closures.isEmpty();
+        }
+
+        /**
+         * Check if an edge is closed
+         * @param edge the edge
+         * @return true if the edge is closed, false otherwise
+         */
+        public boolean isClosed(DefaultWeightedEdge edge) {
+            return closures.contains(edge);
+        }
+
+        /**
+         * Get the weight multiplier of an edge
+         * @param edge the edge
+         * @return the multiplier, or 1 if none is set
+         */
+        public double getMultiplier(DefaultWeightedEdge edge) {
+            return multipliers.getOrDefault(edge, 1.0);
+        }
+
+        /**
+         * Get the multiplier of every road segment of a time-dependent graph, indexed by segment id. Closed
+         * segments have a multiplier of positive infinity. The array is built on first use and then reused,
+         * so searches on the same snapshot do not pay for map lookups.
+         * @param graph the time-dependent graph
+         * @return the segment multipliers
+         */
+        double[] getSegmentFactors(TimeDependentGraph graph) {
+            var cached = segmentFactors;
+            if(cached != null && cached.graph() == graph) {
+                return cached.factors();
+            }
+
+            double[] factors = new double[graph.segmentCount()];
+            Arrays.fill(factors, 1.0);
+
+            multipliers.forEach((edge, multiplier) -> {
+                int segment = graph.segmentIdOf(edge);
+                if(segment >= 0) {
+                    factors[segment] = multiplier;
+                }
+            });
+
+            for(var edge : closures) {
+                int segment = graph.segmentIdOf(edge);
+                if(segment >= 0) {
+                    factors[segment] = Double.POSITIVE_INFINITY;
+                }
+            }
+
+            segmentFactors = new SegmentFactors(graph, factors);
+
+            return factors;
+        }
+
+        private record SegmentFactors(TimeDependentGraph graph, double[] factors) {}
+    }
+}
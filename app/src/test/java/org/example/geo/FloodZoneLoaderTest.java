@@ -0,0 +1,33 @@
+package org.example.geo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FloodZoneLoaderTest {
+    private static final String SQUARE = "[[[0,0],[1,0],[1,1],[0,1],[0,0]]]";
+
+    @Test void loadsForecastLayersInTimeOrder() {
+        String json = """
+            {
+              "type": "FeatureCollection",
+              "features": [
+                { "type": "Feature", "properties": { "time": 60 }, "geometry": { "type": "Polygon", "coordinates": %1$s } },
+                { "type": "Feature", "properties": {}, "geometry": { "type": "Polygon", "coordinates": %1$s } },
+                { "type": "Feature", "properties": { "time": 30 }, "geometry": { "type": "MultiPolygon", "coordinates": [%1$s, %1$s] } },
+                { "type": "Feature", "properties": { "time": "soon" }, "geometry": { "type": "Polygon", "coordinates": %1$s } },
+                { "type": "Feature", "properties": { "time": 15 }, "geometry": { "type": "Point", "coordinates": [0, 0] } }
+              ]
+            }
+            """.formatted(SQUARE);
+
+        var forecast = FloodZoneLoader.loadForecastFromGeoJSON(GeoBuilder.buildFromJSON(json));
+
+        assertEquals(List.of(0.0, 30.0, 60.0), List.copyOf(forecast.keySet()));
+        assertEquals(1, forecast.get(0.0).size());
+        assertEquals(2, forecast.get(30.0).size());
+        assertEquals(1, forecast.get(60.0).size());
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.example.utils.GeoMath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.junit.jupiter.api.Test;
+
+import com.mapbox.geojson.Point;
+import com.mapbox.geojson.Polygon;
+
+class PathFinderTest {
+    private static final double SPEED_KMH = 60;
+
+    // A - B - C is the short route, A - D - C the longer detour
+    private static final Point A = Point.fromLngLat(0.00, 0.00);
+    private static final Point B = Point.fromLngLat(0.01, 0.00);
+    private static final Point C = Point.fromLngLat(0.02, 0.00);
+    private static final Point D = Point.fromLngLat(0.01, 0.01);
+
+    private static final Polygon FLOOD_BC = square(0.015, 0.0, 0.001);
+    private static final Polygon FLOOD_C = square(0.02, 0.0, 0.001);
+
+    @Test void skipsEdgeFloodedBeforeArrival() {
+        var graph = buildGraph();
+        double arrival = travelMinutes(graph, A, B, C);
+
+        var tdGraph = GraphBuilder.buildTimeDependentGraph(graph, forecast(arrival - 0.5, FLOOD_BC));
+        var path = PathFinder.findEarliestArrivalPath(tdGraph, A, C, SPEED_KMH, 0, WeightOverlay.Snapshot.EMPTY);
+
+        assertNotNull(path);
+        assertEquals(List.of(A, D, C), path.getVertexList());
+    }
+
+    @Test void usesEdgeFinishedJustBeforeExpiry() {
+        var graph = buildGraph();
+        double arrival = travelMinutes(graph, A, B, C);
+
+        var tdGraph = GraphBuilder.buildTimeDependentGraph(graph, forecast(arrival + 0.01, FLOOD_BC));
+        var path = PathFinder.findEarliestArrivalPath(tdGraph, A, C, SPEED_KMH, 0, WeightOverlay.Snapshot.EMPTY);
+
+        assertNotNull(path);
+        assertEquals(List.of(A, B, C), path.getVertexList());
+        assertEquals(graph.getEdgeWeight(graph.getEdge(A, B)) + graph.getEdgeWeight(graph.getEdge(B, C)), path.getWeight(), 1e-9);
+    }
+
+    @Test void rejectsLayerWhoseTimePassedBeforeDeparture() {
+        var graph = buildGraph();
+        double arrival = travelMinutes(graph, A, B, C);
+
+        var tdGraph = GraphBuilder.buildTimeDependentGraph(graph, forecast(arrival + 5, FLOOD_BC));
+
+        var early = PathFinder.findEarliestArrivalPath(tdGraph, A, C, SPEED_KMH, 0, WeightOverlay.Snapshot.EMPTY);
+        assertEquals(List.of(A, B, C), early.getVertexList());
+
+        var late = PathFinder.findEarliestArrivalPath(tdGraph, A, C, SPEED_KMH, arrival + 10, WeightOverlay.Snapshot.EMPTY);
+        assertEquals(List.of(A, D, C), late.getVertexList());
+    }
+
+    @Test void returnsNullWhenEveryRouteFloods() {
+        var graph = buildGraph();
+
+        var tdGraph = GraphBuilder.buildTimeDependentGraph(graph, forecast(0, FLOOD_C));
+
+        assertNull(PathFinder.findEarliestArrivalPath(tdGraph, A, C, SPEED_KMH, 0, WeightOverlay.Snapshot.EMPTY));
+    }
+
+    @Test void returnsSingleVertexWalkWhenStartIsEnd() {
+        var graph = buildGraph();
+
+        var tdGraph = GraphBuilder.buildTimeDependentGraph(graph, new TreeMap<>());
+        var path = PathFinder.findEarliestArrivalPath(tdGraph, A, A, SPEED_KMH, 0, WeightOverlay.Snapshot.EMPTY);
+
+        assertNotNull(path);
+        assertEquals(List.of(A), path.getVertexList());
+        assertEquals(0, path.getWeight());
+    }
+
+    @Test void closedEdgeReroutesAndReopeningRestores() {
+        var graph = buildGraph();
+        var tdGraph = GraphBuilder.buildTimeDependentGraph(graph, new TreeMap<>());
+        var overlay = new WeightOverlay();
+
+        overlay.close(graph.getEdge(B, C));
+        assertEquals(List.of(A, D, C), PathFinder.findShortestPath(graph, A, C, overlay.snapshot()).getVertexList());
+        assertEquals(List.of(A, D, C), PathFinder.findEarliestArrivalPath(tdGraph, A, C, SPEED_KMH, 0, overlay.snapshot()).getVertexList());
+
+        overlay.reopen(graph.getEdge(B, C));
+        assertEquals(List.of(A, B, C), PathFinder.findShortestPath(graph, A, C, overlay.snapshot()).getVertexList());
+        assertEquals(List.of(A, B, C), PathFinder.findEarliestArrivalPath(tdGraph, A, C, SPEED_KMH, 0, overlay.snapshot()).getVertexList());
+    }
+
+    @Test void multiplierChangesWinningRoute() {
+        var graph = buildGraph();
+        var tdGraph = GraphBuilder.buildTimeDependentGraph(graph, new TreeMap<>());
+        var overlay = new WeightOverlay();
+        double detourLength = graph.getEdgeWeight(graph.getEdge(A, D)) + graph.getEdgeWeight(graph.getEdge(D, C));
+
+        overlay.setMultiplier(graph.getEdge(A, B), 2);
+
+        var path = PathFinder.findShortestPath(graph, A, C, overlay.snapshot());
+        assertEquals(List.of(A, D, C), path.getVertexList());
+        assertSame(graph, path.getGraph());
+        assertEquals(detourLength, path.getWeight(), 1e-9);
+
+        var timedPath = PathFinder.findEarliestArrivalPath(tdGraph, A, C, SPEED_KMH, 0, overlay.snapshot());
+        assertEquals(List.of(A, D, C), timedPath.getVertexList());
+        assertEquals(detourLength, timedPath.getWeight(), 1e-9);
+    }
+
+    @Test void vertexQueuePopsInKeyOrderAfterGrowing() {
+        var queue = new PathFinder.VertexQueue(64);
+        var random = new Random(42);
+        double[] keys = new double[200];
+
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextDouble() * 100;
+            queue.push(i, keys[i]);
+        }
+
+        double previous = Double.NEGATIVE_INFINITY;
+        int popped = 0;
+        while(!queue.isEmpty()) {
+            double key = keys[queue.pop()];
+            assertTrue(key >= previous, "keys should be popped in ascending order");
+
+            previous = key;
+            popped++;
+        }
+
+        assertEquals(keys.length, popped);
+    }
+
+    private static SimpleWeightedGraph<Point, DefaultWeightedEdge> buildGraph() {
+        var graph = new SimpleWeightedGraph<Point, DefaultWeightedEdge>(DefaultWeightedEdge.class);
+
+        addEdge(graph, A, B);
+        addEdge(graph, B, C);
+        addEdge(graph, A, D);
+        addEdge(graph, D, C);
+
+        return graph;
+    }
+
+    private static void addEdge(SimpleWeightedGraph<Point, DefaultWeightedEdge> graph, Point p0, Point p1) {
+        graph.addVertex(p0);
+        graph.addVertex(p1);
+        graph.setEdgeWeight(graph.addEdge(p0, p1), GeoMath.haversine(p0, p1));
+    }
+
+    private static double travelMinutes(SimpleWeightedGraph<Point, DefaultWeightedEdge> graph, Point... points) {
+        double time = 0;
+        for(int i = 1; i < points.length; i++) {
+            time += graph.getEdgeWeight(graph.getEdge(points[i - 1], points[i])) * (60.0 / SPEED_KMH);
+        }
+
+        return time;
+    }
+
+    private static NavigableMap<Double, List<Polygon>> forecast(double time, Polygon zone) {
+        NavigableMap<Double, List<Polygon>> forecast = new TreeMap<>();
+        forecast.put(time, List.of(zone));
+
+        return forecast;
+    }
+
+    private static Polygon square(double lon, double lat, double halfSize) {
+        return Polygon.fromLngLats(List.of(List.of(
+            Point.fromLngLat(lon - halfSize, lat - halfSize),
+            Point.fromLngLat(lon + halfSize, lat - halfSize),
+            Point.fromLngLat(lon + halfSize, lat + halfSize),
+            Point.fromLngLat(lon - halfSize, lat + halfSize),
+            Point.fromLngLat(lon - halfSize, lat - halfSize)
+        )));
+    }
+}
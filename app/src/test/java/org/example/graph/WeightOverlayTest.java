@@ -0,0 +1,40 @@
+package org.example.graph;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.junit.jupiter.api.Test;
+
+class WeightOverlayTest {
+    @Test void updatesDoNotChangeEarlierSnapshots() {
+        var overlay = new WeightOverlay();
+        var edge = new DefaultWeightedEdge();
+
+        var before = overlay.snapshot();
+        overlay.close(edge);
+        overlay.setMultiplier(edge, 3);
+        var after = overlay.snapshot();
+
+        assertTrue(before.isEmpty());
+        assertFalse(before.isClosed(edge));
+        assertEquals(1.0, before.getMultiplier(edge));
+
+        assertTrue(after.isClosed(edge));
+        assertEquals(3.0, after.getMultiplier(edge));
+
+        overlay.clear();
+        assertTrue(after.isClosed(edge));
+        assertTrue(overlay.snapshot().isEmpty());
+    }
+
+    @Test void rejectsInvalidMultipliers() {
+        var overlay = new WeightOverlay();
+        var edge = new DefaultWeightedEdge();
+
+        for(double multiplier : new double[] { 0, -1, Double.NaN, Double.POSITIVE_INFINITY }) {
+            assertThrows(IllegalArgumentException.class, () -> overlay.setMultiplier(edge, multiplier));
+        }
+
+        assertTrue(overlay.snapshot().isEmpty());
+    }
+}